@@ -31,6 +31,13 @@ dependencies {
 
 tasks.test {
   useJUnitPlatform()
+  listOf(
+    "jts.allocation.serializeBytesPerVertex",
+    "jts.allocation.deserializeBytesPerVertex",
+    "jts.benchmark",
+  ).forEach { name ->
+    providers.gradleProperty(name).orNull?.let { systemProperty(name, it) }
+  }
 }
 
 mavenPublishing {
@@ -0,0 +1,92 @@
+package io.github.aytronnfr.jackson.jts;
+
+import org.locationtech.jts.geom.Coordinate;
+
+/**
+ * Open-addressing table from ordinate bits to {@link Coordinate} instances, bounded to a maximum number of entries.
+ * Keys are the raw {@code x, y, z} bits, so {@code 0.0} and {@code -0.0} stay distinct and values are never altered.
+ * The table is only allocated on the first lookup, so scopes without any interned coordinate cost next to nothing.
+ */
+final class CoordinateInterner {
+  // object header plus three doubles, with compressed references
+  private static final long COORDINATE_BYTES = 40;
+  private static final int INITIAL_CAPACITY = 64;
+
+  private final int maxEntries;
+  private long[] keys;
+  private Coordinate[] values;
+  private int size;
+  private long lookups;
+  private long hits;
+
+  CoordinateInterner(int maxEntries) {
+    this.maxEntries = maxEntries;
+  }
+
+  Coordinate intern(double x, double y, double z) {
+    ++lookups;
+    if (values == null) {
+      keys = new long[INITIAL_CAPACITY * 3];
+      values = new Coordinate[INITIAL_CAPACITY];
+    }
+    long xBits = Double.doubleToLongBits(x);
+    long yBits = Double.doubleToLongBits(y);
+    long zBits = Double.doubleToLongBits(z);
+    int mask = values.length - 1;
+    int slot = hash(xBits, yBits, zBits) & mask;
+    while (values[slot] != null) {
+      int k = slot * 3;
+      if (keys[k] == xBits && keys[k + 1] == yBits && keys[k + 2] == zBits) {
+        ++hits;
+        return values[slot];
+      }
+      slot = (slot + 1) & mask;
+    }
+    Coordinate coordinate = new Coordinate(x, y, z);
+    if (size < maxEntries) {
+      insert(slot, xBits, yBits, zBits, coordinate);
+    }
+    return coordinate;
+  }
+
+  VertexInterning.Stats stats() {
+    return new VertexInterning.Stats(lookups, hits, hits * COORDINATE_BYTES);
+  }
+
+  private void insert(int slot, long xBits, long yBits, long zBits, Coordinate coordinate) {
+    int k = slot * 3;
+    keys[k] = xBits;
+    keys[k + 1] = yBits;
+    keys[k + 2] = zBits;
+    values[slot] = coordinate;
+    // keep the load factor at or below one half so probe sequences stay short
+    if (++size * 2 > values.length) {
+      grow();
+    }
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    Coordinate[] oldValues = values;
+    keys = new long[oldKeys.length * 2];
+    values = new Coordinate[oldValues.length * 2];
+    int mask = values.length - 1;
+    for (int i = 0; i < oldValues.length; ++i) {
+      if (oldValues[i] == null) continue;
+      int k = i * 3;
+      int slot = hash(oldKeys[k], oldKeys[k + 1], oldKeys[k + 2]) & mask;
+      while (values[slot] != null) {
+        slot = (slot + 1) & mask;
+      }
+      System.arraycopy(oldKeys, k, keys, slot * 3, 3);
+      values[slot] = oldValues[i];
+    }
+  }
+
+  private static int hash(long xBits, long yBits, long zBits) {
+    long h = xBits * 0x9E3779B97F4A7C15L;
+    h = (h ^ yBits) * 0xC2B2AE3D27D4EB4FL;
+    h = (h ^ zBits) * 0x165667B19E3779F9L;
+    return (int) (h ^ (h >>> 32));
+  }
+}
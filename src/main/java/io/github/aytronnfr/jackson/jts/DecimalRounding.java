@@ -0,0 +1,147 @@
+package io.github.aytronnfr.jackson.jts;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Rounds ordinates half away from zero to a fixed number of decimal places, and writes the rounded value, formatted
+ * exactly as {@link Double#toString(double)} would, straight into a char buffer.
+ *
+ * <p>Ties are decided on the exact binary value, as {@link java.text.DecimalFormat} with {@link RoundingMode#HALF_UP}
+ * does, so {@code 0.125} rounds to {@code 0.13} and {@code -0.125} to {@code -0.13} at two places. Rounded values of
+ * at most 15 significant digits (every longitude and latitude, and projected coordinates below 10<sup>7</sup>, at 8
+ * places) are handled without allocating; larger ones go through {@link BigDecimal}.
+ */
+final class DecimalRounding {
+  // rounded values below 10^15 units have at most 15 significant digits, so they print as exactly those digits
+  private static final double MAX_UNITS = 1e15;
+  // 10^22 is the largest power of ten a double holds exactly
+  private static final int MAX_EXACT_POWER = 22;
+
+  private final int decimalPlaces;
+  private final double scale;
+
+  DecimalRounding(int decimalPlaces) {
+    if (decimalPlaces < 0) throw new IllegalArgumentException("decimalPlaces < 0");
+    this.decimalPlaces = decimalPlaces;
+    double power = 1;
+    for (int i = 0; i < decimalPlaces; ++i) {
+      power *= 10;
+    }
+    this.scale = decimalPlaces <= MAX_EXACT_POWER ? power : Double.POSITIVE_INFINITY;
+  }
+
+  double round(double value) {
+    double magnitude = Math.abs(value);
+    if (magnitude * scale < MAX_UNITS) {
+      return Math.copySign(roundedUnits(magnitude) / scale, value);
+    }
+    if (!Double.isFinite(value)) {
+      return value;
+    }
+    return Math.copySign(new BigDecimal(value).setScale(decimalPlaces, RoundingMode.HALF_UP).doubleValue(), value);
+  }
+
+  /**
+   * Writes {@code round(value)} as {@link Double#toString(double)} would, at most 24 chars.
+   *
+   * @return the offset after the last char written, or {@code -1} when nothing was written because the value is
+   *     not finite or has more than 15 significant digits once rounded
+   */
+  int write(double value, char[] buffer, int offset) {
+    double magnitude = Math.abs(value);
+    if (!(magnitude * scale < MAX_UNITS)) {
+      return -1;
+    }
+    long units = roundedUnits(magnitude);
+    int pos = offset;
+    if (Math.copySign(1.0, value) < 0) {
+      buffer[pos++] = '-';
+    }
+    if (units == 0) {
+      buffer[pos++] = '0';
+      buffer[pos++] = '.';
+      buffer[pos++] = '0';
+      return pos;
+    }
+    int exponent = -decimalPlaces;
+    while (units % 10 == 0) {
+      units /= 10;
+      ++exponent;
+    }
+    int digits = digitCount(units);
+    int scientific = digits - 1 + exponent;
+    if (scientific >= -3 && scientific < 7) {
+      if (scientific < 0) {
+        buffer[pos++] = '0';
+        buffer[pos++] = '.';
+        for (int i = -1; i > scientific; --i) {
+          buffer[pos++] = '0';
+        }
+        return appendDigits(units, digits, digits, buffer, pos);
+      }
+      int integerDigits = scientific + 1;
+      if (integerDigits < digits) {
+        return appendDigits(units, digits, integerDigits, buffer, pos);
+      }
+      pos = appendDigits(units, digits, digits, buffer, pos);
+      for (int i = digits; i < integerDigits; ++i) {
+        buffer[pos++] = '0';
+      }
+      buffer[pos++] = '.';
+      buffer[pos++] = '0';
+      return pos;
+    }
+    pos = appendDigits(units, digits, 1, buffer, pos);
+    if (digits == 1) {
+      buffer[pos++] = '.';
+      buffer[pos++] = '0';
+    }
+    buffer[pos++] = 'E';
+    if (scientific < 0) {
+      buffer[pos++] = '-';
+      scientific = -scientific;
+    }
+    return appendDigits(scientific, digitCount(scientific), digitCount(scientific), buffer, pos);
+  }
+
+  /**
+   * {@code magnitude * 10^decimalPlaces} rounded half up, for a product below 10^15. The product is only an estimate
+   * in floating point, so the floor and the tie are settled with fused multiply-adds, whose sign is exact.
+   */
+  private long roundedUnits(double magnitude) {
+    long units = (long) (magnitude * scale);
+    if (Math.fma(magnitude, scale, -units) < 0) {
+      --units;
+    } else if (Math.fma(magnitude, scale, -(units + 1)) >= 0) {
+      ++units;
+    }
+    if (Math.fma(magnitude, scale, -(units + 0.5)) >= 0) {
+      ++units;
+    }
+    return units;
+  }
+
+  /** Writes the digits of {@code value}, with a decimal point after the first {@code pointAfter} when fewer than all. */
+  private static int appendDigits(long value, int digits, int pointAfter, char[] buffer, int offset) {
+    int end = offset + digits + (pointAfter < digits ? 1 : 0);
+    int pos = end;
+    for (int i = digits - 1; i >= 0; --i) {
+      if (i == pointAfter - 1 && pointAfter < digits) {
+        buffer[--pos] = '.';
+      }
+      buffer[--pos] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+    return end;
+  }
+
+  private static int digitCount(long value) {
+    int digits = 1;
+    while (value >= 10) {
+      value /= 10;
+      ++digits;
+    }
+    return digits;
+  }
+}
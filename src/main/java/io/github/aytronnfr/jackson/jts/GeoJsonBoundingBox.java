@@ -0,0 +1,17 @@
+package io.github.aytronnfr.jackson.jts;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the module-wide {@link IncludeBoundingBox} for a single geometry property.
+ *
+ * <p>A {@code bbox} member is written for the listed types; an empty list means every type.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.ANNOTATION_TYPE})
+public @interface GeoJsonBoundingBox {
+  GeometryType[] value() default {};
+}
@@ -0,0 +1,19 @@
+package io.github.aytronnfr.jackson.jts;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Overrides the number of decimal places for a single geometry property.
+ *
+ * <p>On serialization, ordinates are rounded to {@code value} decimals instead of the module-wide setting. On
+ * deserialization, ordinates are rounded the same way (half away from zero); geometries keep the module's
+ * {@link org.locationtech.jts.geom.GeometryFactory} and its {@link org.locationtech.jts.geom.PrecisionModel}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.ANNOTATION_TYPE})
+public @interface GeoJsonPrecision {
+  int value();
+}
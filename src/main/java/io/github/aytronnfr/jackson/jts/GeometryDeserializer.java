@@ -1,7 +1,16 @@
 package io.github.aytronnfr.jackson.jts;
 
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.locationtech.jts.algorithm.Area;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateArrays;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFactory;
+import org.locationtech.jts.geom.CoordinateSequences;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryCollection;
 import org.locationtech.jts.geom.GeometryFactory;
@@ -13,13 +22,18 @@ import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
 import org.locationtech.jts.geom.PrecisionModel;
+import org.locationtech.jts.geom.impl.CoordinateArraySequenceFactory;
+import org.locationtech.jts.index.SpatialIndex;
 import tools.jackson.core.JacksonException;
 import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.BeanProperty;
 import tools.jackson.databind.DatabindException;
 import tools.jackson.databind.DeserializationContext;
 import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ValueDeserializer;
 import tools.jackson.databind.exc.InvalidDefinitionException;
+import tools.jackson.databind.node.ObjectNode;
 
 public class GeometryDeserializer extends ValueDeserializer<Geometry> {
 
@@ -27,6 +41,10 @@ public class GeometryDeserializer extends ValueDeserializer<Geometry> {
   private static final GeometryFactory DEFAULT_GEOMETRY_FACTORY = getDefaultGeometryFactory();
 
   private final GeometryFactory geometryFactory;
+  private final DecimalRounding rounding;
+  private final VertexInterning vertexInterning;
+  private final RingOrientation ringOrientation;
+  private final ConcurrentMap<Integer, GeometryDeserializer> contextualDeserializers = new ConcurrentHashMap<>();
 
   public GeometryDeserializer() {
     this(null);
@@ -34,118 +52,314 @@ public class GeometryDeserializer extends ValueDeserializer<Geometry> {
 
   @Override
   public Geometry deserialize(JsonParser p, DeserializationContext context) throws JacksonException {
-    return deserializeGeometry(p.readValueAs(JsonNode.class), context);
+    JsonNode node = p.readValueAs(JsonNode.class);
+    return deserializeInScope(node, getGeometryType(node, context), context);
+  }
+
+  /**
+   * Rejects a geometry whose {@code type} is not in {@code accepted} as soon as that member is read. Other members are
+   * still read into a tree and built by the same code as {@link #deserialize(JsonParser, DeserializationContext)}. A
+   * duplicated {@code type} is checked at each occurrence, so one unaccepted occurrence rejects the object; otherwise,
+   * as in a tree, the last one wins.
+   */
+  Geometry deserialize(JsonParser p, DeserializationContext context, Set<GeometryType> accepted, Class<?> target)
+      throws JacksonException {
+    if (!p.isExpectedStartObjectToken() && !p.hasToken(JsonToken.PROPERTY_NAME)) {
+      Geometry geometry = deserialize(p, context);
+      if (geometry != null && !target.isInstance(geometry)) {
+        throw invalidTargetType(context, target, geometry.getGeometryType());
+      }
+      return geometry;
+    }
+
+    ObjectNode node = context.getNodeFactory().objectNode();
+    GeometryType type = null;
+    String name = p.isExpectedStartObjectToken() ? p.nextName() : p.currentName();
+    for (; name != null; name = p.nextName()) {
+      p.nextToken();
+      if (Field.TYPE.equals(name)) {
+        String typeName = p.getValueAsString();
+        type = GeometryType.fromString(typeName).orElseThrow(() -> invalidGeometryType(context, typeName));
+        if (!accepted.contains(type)) {
+          throw invalidTargetType(context, target, type.toString());
+        }
+      } else {
+        node.set(name, context.readTree(p));
+      }
+    }
+    if (type == null) {
+      throw invalidGeometryType(context, null);
+    }
+    return deserializeInScope(node, type, context);
+  }
+
+  private Geometry deserializeInScope(JsonNode node, GeometryType type, DeserializationContext context)
+      throws DatabindException {
+    CoordinateInterner interner = vertexInterning.newScope();
+    Geometry geometry = deserializeGeometry(node, type, context, new ReadScope(null, interner));
+    vertexInterning.report(interner);
+    return geometry;
+  }
+
+  IndexedGeometryCollection deserializeIndexed(JsonParser p, DeserializationContext context, SpatialIndex index)
+      throws JacksonException {
+    JsonNode node = p.readValueAs(JsonNode.class);
+    GeometryType type = getGeometryType(node, context);
+    if (type != GeometryType.GEOMETRY_COLLECTION) {
+      throw invalidGeometryType(context, type.toString());
+    }
+
+    CoordinateInterner interner = vertexInterning.newScope();
+    JsonNode geometries = getArray(node, context, Field.GEOMETRIES);
+    Geometry[] geom = new Geometry[geometries.size()];
+    for (int i = 0; i != geometries.size(); ++i) {
+      JsonNode member = geometries.get(i);
+      Envelope envelope = getBoundingBox(member, context);
+      if (envelope == null) {
+        envelope = new Envelope();
+        geom[i] = deserializeGeometry(member, context, new ReadScope(envelope, interner));
+      } else {
+        geom[i] = deserializeGeometry(member, context, new ReadScope(null, interner));
+      }
+      if (!envelope.isNull()) {
+        index.insert(envelope, geom[i]);
+      }
+    }
+    vertexInterning.report(interner);
+    return new IndexedGeometryCollection(this.geometryFactory.createGeometryCollection(geom), index);
   }
 
   public GeometryDeserializer(GeometryFactory geometryFactory) {
+    this(geometryFactory, null, null, null);
+  }
+
+  public GeometryDeserializer(GeometryFactory geometryFactory, VertexInterning vertexInterning) {
+    this(geometryFactory, null, vertexInterning, null);
+  }
+
+  public GeometryDeserializer(GeometryFactory geometryFactory, VertexInterning vertexInterning,
+      RingOrientation ringOrientation) {
+    this(geometryFactory, null, vertexInterning, ringOrientation);
+  }
+
+  private GeometryDeserializer(GeometryFactory geometryFactory, DecimalRounding rounding,
+      VertexInterning vertexInterning, RingOrientation ringOrientation) {
     this.geometryFactory = Optional.ofNullable(geometryFactory).orElse(DEFAULT_GEOMETRY_FACTORY);
+    this.rounding = rounding;
+    this.vertexInterning = Optional.ofNullable(vertexInterning).orElseGet(VertexInterning::disabled);
+    this.ringOrientation = Optional.ofNullable(ringOrientation).orElse(RingOrientation.PRESERVE);
   }
 
-  private Geometry deserializeGeometry(JsonNode node, DeserializationContext context) throws DatabindException {
-    String typeName = node.get(Field.TYPE).asText();
+  /**
+   * Resolves {@link GeoJsonPrecision} once per property. Properties sharing the same precision share one pre-built
+   * deserializer that rounds ordinates as {@link GeometrySerializer} does for that precision; geometries are still
+   * built by the module's own {@link GeometryFactory}.
+   */
+  @Override
+  public ValueDeserializer<?> createContextual(DeserializationContext context, BeanProperty property)
+      throws DatabindException {
+    GeoJsonPrecision precision = property == null ? null : property.getAnnotation(GeoJsonPrecision.class);
+    if (precision == null) {
+      return this;
+    }
+    if (precision.value() < 0) {
+      throw InvalidDefinitionException.from(context,
+          String.format("Invalid @GeoJsonPrecision on %s: %d", property.getName(), precision.value()));
+    }
+    return contextualDeserializers.computeIfAbsent(precision.value(), this::createContextualDeserializer);
+  }
+
+  private GeometryDeserializer createContextualDeserializer(int decimalPlaces) {
+    return new GeometryDeserializer(this.geometryFactory, new DecimalRounding(decimalPlaces), this.vertexInterning,
+        this.ringOrientation);
+  }
 
-    GeometryType type = GeometryType.fromString(typeName).orElseThrow(() -> invalidGeometryType(context, typeName));
+  private Geometry deserializeGeometry(JsonNode node, DeserializationContext context, ReadScope scope)
+      throws DatabindException {
+    return deserializeGeometry(node, getGeometryType(node, context), context, scope);
+  }
 
+  private Geometry deserializeGeometry(JsonNode node, GeometryType type, DeserializationContext context,
+      ReadScope scope) throws DatabindException {
     return switch (type) {
-      case POINT -> deserializePoint(node, context);
-      case MULTI_POINT -> deserializeMultiPoint(node, context);
-      case LINE_STRING -> deserializeLineString(node, context);
-      case MULTI_LINE_STRING -> deserializeMultiLineString(node, context);
-      case POLYGON -> deserializePolygon(node, context);
-      case MULTI_POLYGON -> deserializeMultiPolygon(node, context);
-      case GEOMETRY_COLLECTION -> deserializeGeometryCollection(node, context);
+      case POINT -> deserializePoint(node, context, scope);
+      case MULTI_POINT -> deserializeMultiPoint(node, context, scope);
+      case LINE_STRING -> deserializeLineString(node, context, scope);
+      case MULTI_LINE_STRING -> deserializeMultiLineString(node, context, scope);
+      case POLYGON -> deserializePolygon(node, context, scope);
+      case MULTI_POLYGON -> deserializeMultiPolygon(node, context, scope);
+      case GEOMETRY_COLLECTION -> deserializeGeometryCollection(node, context, scope);
     };
   }
 
+  private GeometryType getGeometryType(JsonNode node, DeserializationContext context) throws DatabindException {
+    JsonNode type = node.get(Field.TYPE);
+    String typeName = type == null ? null : type.asString();
+    return GeometryType.fromString(typeName).orElseThrow(() -> invalidGeometryType(context, typeName));
+  }
+
   private DatabindException invalidGeometryType(DeserializationContext context, String typeName) {
     return InvalidDefinitionException.from(context, "Invalid geometry type: " + typeName);
   }
 
-  private Point deserializePoint(JsonNode node, DeserializationContext context) throws DatabindException {
+  private DatabindException invalidTargetType(DeserializationContext context, Class<?> target, String typeName) {
+    return InvalidDefinitionException.from(context,
+        String.format("Invalid type for %s: %s", target.getName(), typeName));
+  }
+
+  private Point deserializePoint(JsonNode node, DeserializationContext context, ReadScope scope)
+      throws DatabindException {
     JsonNode coordinates = getArray(node, context, Field.COORDINATES);
-    return this.geometryFactory.createPoint(deserializeCoordinate(coordinates, context));
+    ReadScope pointScope = this.geometryFactory.getCoordinateSequenceFactory() instanceof CoordinateArraySequenceFactory
+        ? scope
+        : scope.withoutInterning();
+    return this.geometryFactory.createPoint(deserializeCoordinate(coordinates, context, pointScope));
   }
 
-  private Polygon deserializePolygon(JsonNode node, DeserializationContext context) throws DatabindException {
+  private Polygon deserializePolygon(JsonNode node, DeserializationContext context, ReadScope scope)
+      throws DatabindException {
     JsonNode coordinates = getArray(node, context, Field.COORDINATES);
-    return deserializeLinearRings(coordinates, context);
+    return deserializeLinearRings(coordinates, context, scope);
   }
 
-  private MultiPolygon deserializeMultiPolygon(JsonNode node, DeserializationContext context) throws DatabindException {
+  private MultiPolygon deserializeMultiPolygon(JsonNode node, DeserializationContext context, ReadScope scope)
+      throws DatabindException {
     JsonNode coordinates = getArray(node, context, Field.COORDINATES);
     Polygon[] polygons = new Polygon[coordinates.size()];
     for (int i = 0; i != coordinates.size(); ++i) {
-      polygons[i] = deserializeLinearRings(coordinates.get(i), context);
+      polygons[i] = deserializeLinearRings(coordinates.get(i), context, scope);
     }
     return this.geometryFactory.createMultiPolygon(polygons);
   }
 
-  private MultiPoint deserializeMultiPoint(JsonNode node, DeserializationContext context) throws DatabindException {
+  private MultiPoint deserializeMultiPoint(JsonNode node, DeserializationContext context, ReadScope scope)
+      throws DatabindException {
     JsonNode coordinates = getArray(node, context, Field.COORDINATES);
-    Coordinate[] coords = deserializeCoordinates(coordinates, context);
+    Coordinate[] coords = deserializeCoordinates(coordinates, context, scope.withoutInterning());
     return this.geometryFactory.createMultiPointFromCoords(coords);
   }
 
-  private GeometryCollection deserializeGeometryCollection(JsonNode node, DeserializationContext context)
-      throws DatabindException {
+  private GeometryCollection deserializeGeometryCollection(
+      JsonNode node, DeserializationContext context, ReadScope scope) throws DatabindException {
     JsonNode geometries = getArray(node, context, Field.GEOMETRIES);
     Geometry[] geom = new Geometry[geometries.size()];
     for (int i = 0; i != geometries.size(); ++i) {
-      geom[i] = deserializeGeometry(geometries.get(i), context);
+      geom[i] = deserializeGeometry(geometries.get(i), context, scope);
     }
     return this.geometryFactory.createGeometryCollection(geom);
   }
 
-  private MultiLineString deserializeMultiLineString(JsonNode node, DeserializationContext context)
+  private MultiLineString deserializeMultiLineString(JsonNode node, DeserializationContext context, ReadScope scope)
       throws DatabindException {
     JsonNode coordinates = getArray(node, context, Field.COORDINATES);
-    LineString[] lineStrings = lineStringsFromJson(coordinates, context);
+    LineString[] lineStrings = lineStringsFromJson(coordinates, context, scope);
     return this.geometryFactory.createMultiLineString(lineStrings);
   }
 
-  private LineString[] lineStringsFromJson(JsonNode node, DeserializationContext context) throws DatabindException {
+  private LineString[] lineStringsFromJson(JsonNode node, DeserializationContext context, ReadScope scope)
+      throws DatabindException {
     LineString[] strings = new LineString[node.size()];
     for (int i = 0; i != node.size(); ++i) {
-      Coordinate[] coordinates = deserializeCoordinates(node.get(i), context);
-      strings[i] = this.geometryFactory.createLineString(coordinates);
+      strings[i] = this.geometryFactory.createLineString(deserializeSequence(node.get(i), context, scope));
     }
     return strings;
   }
 
-  private LineString deserializeLineString(JsonNode node, DeserializationContext context) throws DatabindException {
+  private LineString deserializeLineString(JsonNode node, DeserializationContext context, ReadScope scope)
+      throws DatabindException {
     JsonNode coordinates = getArray(node, context, Field.COORDINATES);
-    Coordinate[] coords = deserializeCoordinates(coordinates, context);
-    return this.geometryFactory.createLineString(coords);
+    return this.geometryFactory.createLineString(deserializeSequence(coordinates, context, scope));
+  }
+
+  private CoordinateSequence deserializeSequence(JsonNode node, DeserializationContext context, ReadScope scope)
+      throws DatabindException {
+    CoordinateSequenceFactory sequenceFactory = this.geometryFactory.getCoordinateSequenceFactory();
+    if (sequenceFactory instanceof CoordinateArraySequenceFactory) {
+      return sequenceFactory.create(deserializeCoordinates(node, context, scope));
+    }
+    int dimension = 2;
+    for (int i = 0; i != node.size(); ++i) {
+      dimension = Math.max(dimension, Math.min(node.get(i).size(), 3));
+    }
+    CoordinateSequence sequence = sequenceFactory.create(node.size(), dimension, 0);
+    for (int i = 0; i != node.size(); ++i) {
+      JsonNode coordinate = node.get(i);
+      if (coordinate.size() < 2) {
+        throw InvalidDefinitionException.from(context, "Invalid coordinate: " + coordinate);
+      }
+      double x = getOrdinate(coordinate, 0, context);
+      double y = getOrdinate(coordinate, 1, context);
+      if (scope.bounds() != null) {
+        scope.bounds().expandToInclude(x, y);
+      }
+      sequence.setOrdinate(i, CoordinateSequence.X, x);
+      sequence.setOrdinate(i, CoordinateSequence.Y, y);
+      if (dimension > 2) {
+        double z = coordinate.size() < 3 ? Double.NaN : getOrdinate(coordinate, 2, context);
+        sequence.setOrdinate(i, CoordinateSequence.Z, z);
+      }
+    }
+    return sequence;
   }
 
-  private Coordinate[] deserializeCoordinates(JsonNode node, DeserializationContext context) throws DatabindException {
+  private CoordinateSequence deserializeRingSequence(JsonNode node, DeserializationContext context, ReadScope scope,
+      boolean shell) throws DatabindException {
+    if (ringOrientation == RingOrientation.PRESERVE) {
+      return deserializeSequence(node, context, scope);
+    }
+    CoordinateSequenceFactory sequenceFactory = this.geometryFactory.getCoordinateSequenceFactory();
+    if (sequenceFactory instanceof CoordinateArraySequenceFactory) {
+      Coordinate[] coordinates = deserializeCoordinates(node, context, scope);
+      if (ringOrientation.needsReversal(Area.ofRingSigned(coordinates), shell)) {
+        CoordinateArrays.reverse(coordinates);
+      }
+      return sequenceFactory.create(coordinates);
+    }
+    CoordinateSequence sequence = deserializeSequence(node, context, scope);
+    if (ringOrientation.needsReversal(Area.ofRingSigned(sequence), shell)) {
+      CoordinateSequences.reverse(sequence);
+    }
+    return sequence;
+  }
+
+  private Coordinate[] deserializeCoordinates(JsonNode node, DeserializationContext context, ReadScope scope)
+      throws DatabindException {
     Coordinate[] points = new Coordinate[node.size()];
     for (int i = 0; i != node.size(); ++i) {
-      points[i] = deserializeCoordinate(node.get(i), context);
+      points[i] = deserializeCoordinate(node.get(i), context, scope);
     }
     return points;
   }
 
-  private Polygon deserializeLinearRings(JsonNode node, DeserializationContext context) throws DatabindException {
-    LinearRing shell = deserializeLinearRing(node.get(0), context);
+  private Polygon deserializeLinearRings(JsonNode node, DeserializationContext context, ReadScope scope)
+      throws DatabindException {
+    LinearRing shell = deserializeLinearRing(node.get(0), context, scope, true);
     LinearRing[] holes = new LinearRing[node.size() - 1];
     for (int i = 1; i < node.size(); ++i) {
-      holes[i - 1] = deserializeLinearRing(node.get(i), context);
+      holes[i - 1] = deserializeLinearRing(node.get(i), context, scope, false);
     }
     return this.geometryFactory.createPolygon(shell, holes);
   }
 
-  private LinearRing deserializeLinearRing(JsonNode node, DeserializationContext context) throws DatabindException {
-    Coordinate[] coordinates = deserializeCoordinates(node, context);
-    return this.geometryFactory.createLinearRing(coordinates);
+  private LinearRing deserializeLinearRing(JsonNode node, DeserializationContext context, ReadScope scope,
+      boolean shell) throws DatabindException {
+    return this.geometryFactory.createLinearRing(deserializeRingSequence(node, context, scope, shell));
   }
 
-  private Coordinate deserializeCoordinate(JsonNode node, DeserializationContext context) throws DatabindException {
+  private Coordinate deserializeCoordinate(JsonNode node, DeserializationContext context, ReadScope scope)
+      throws DatabindException {
     if (node.size() < 2) {
       throw InvalidDefinitionException.from(context, "Invalid coordinate: " + node);
     }
     double x = getOrdinate(node, 0, context);
     double y = getOrdinate(node, 1, context);
+    if (scope.bounds() != null) {
+      scope.bounds().expandToInclude(x, y);
+    }
+    if (scope.interner() != null) {
+      double z = node.size() < 3 ? Coordinate.NULL_ORDINATE : getOrdinate(node, 2, context);
+      return scope.interner().intern(x, y, z);
+    }
     if (node.size() < 3) {
       return new Coordinate(x, y);
     }
@@ -153,6 +367,20 @@ public class GeometryDeserializer extends ValueDeserializer<Geometry> {
     return new Coordinate(x, y, z);
   }
 
+  private Envelope getBoundingBox(JsonNode node, DeserializationContext context) throws DatabindException {
+    JsonNode bbox = getArray(node, context, Field.BOUNDING_BOX);
+    if (bbox == null) {
+      return null;
+    }
+    if (bbox.size() != 4 && bbox.size() != 6) {
+      throw InvalidDefinitionException.from(context, "Invalid bbox: " + bbox);
+    }
+    int dimension = bbox.size() / 2;
+    return new Envelope(
+        getOrdinate(bbox, 0, context), getOrdinate(bbox, dimension, context),
+        getOrdinate(bbox, 1, context), getOrdinate(bbox, dimension + 1, context));
+  }
+
   private JsonNode getArray(JsonNode node, DeserializationContext context, String fieldName) throws DatabindException {
     JsonNode coordinates = node.get(fieldName);
     if (coordinates != null && !coordinates.isArray()) {
@@ -166,10 +394,16 @@ public class GeometryDeserializer extends ValueDeserializer<Geometry> {
     if (!ordinate.isNumber()) {
       throw InvalidDefinitionException.from(context, "Invalid ordinate: " + ordinate);
     }
-    return ordinate.asDouble();
+    return rounding == null ? ordinate.asDouble() : rounding.round(ordinate.asDouble());
   }
 
   private static GeometryFactory getDefaultGeometryFactory() {
     return new GeometryFactory(new PrecisionModel(PrecisionModel.FLOATING), DEFAULT_SRID);
   }
+
+  private record ReadScope(Envelope bounds, CoordinateInterner interner) {
+    ReadScope withoutInterning() {
+      return interner == null ? this : new ReadScope(bounds, null);
+    }
+  }
 }
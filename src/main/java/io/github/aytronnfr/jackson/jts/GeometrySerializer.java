@@ -1,10 +1,12 @@
 package io.github.aytronnfr.jackson.jts;
 
-import java.math.RoundingMode;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
-import java.util.Locale;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.locationtech.jts.algorithm.Area;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateSequence;
 import org.locationtech.jts.geom.Envelope;
@@ -18,6 +20,7 @@ import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
 import tools.jackson.core.JacksonException;
 import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.BeanProperty;
 import tools.jackson.databind.SerializationContext;
 import tools.jackson.databind.ValueSerializer;
 import tools.jackson.databind.exc.InvalidDefinitionException;
@@ -25,8 +28,12 @@ import tools.jackson.databind.exc.InvalidDefinitionException;
 public class GeometrySerializer extends ValueSerializer<Geometry> {
   static final int DEFAULT_DECIMAL_PLACES = 8;
 
-  private final NumberFormat decimalFormat;
+  private final int decimalPlaces;
+  private final DecimalRounding rounding;
   private final IncludeBoundingBox includeBoundingBox;
+  private final RingOrientation ringOrientation;
+  private final RawCoordinateWriter rawCoordinateWriter;
+  private final ConcurrentMap<ContextualKey, GeometrySerializer> contextualSerializers = new ConcurrentHashMap<>();
 
   public GeometrySerializer() {
     this(null, DEFAULT_DECIMAL_PLACES);
@@ -61,18 +68,53 @@ public class GeometrySerializer extends ValueSerializer<Geometry> {
   }
 
   public GeometrySerializer(IncludeBoundingBox includeBoundingBox, int decimalPlaces) {
+    this(includeBoundingBox, decimalPlaces, null);
+  }
+
+  public GeometrySerializer(IncludeBoundingBox includeBoundingBox, int decimalPlaces,
+      RingOrientation ringOrientation) {
     this.includeBoundingBox = Optional.ofNullable(includeBoundingBox).orElseGet(IncludeBoundingBox::never);
     if (decimalPlaces < 0) throw new IllegalArgumentException("decimalPlaces < 0");
-    this.decimalFormat = createNumberFormat(decimalPlaces);
+    this.decimalPlaces = decimalPlaces;
+    this.rounding = new DecimalRounding(decimalPlaces);
+    this.ringOrientation = Optional.ofNullable(ringOrientation).orElse(RingOrientation.PRESERVE);
+    this.rawCoordinateWriter = new RawCoordinateWriter(rounding);
+  }
+
+  /**
+   * Resolves {@link GeoJsonPrecision} and {@link GeoJsonBoundingBox} once per property. Properties sharing the same
+   * configuration share one pre-built serializer instance.
+   */
+  @Override
+  public ValueSerializer<?> createContextual(SerializationContext provider, BeanProperty property) {
+    if (property == null) {
+      return this;
+    }
+    GeoJsonPrecision precision = property.getAnnotation(GeoJsonPrecision.class);
+    GeoJsonBoundingBox boundingBox = property.getAnnotation(GeoJsonBoundingBox.class);
+    if (precision == null && boundingBox == null) {
+      return this;
+    }
+    var key = new ContextualKey(
+        precision == null ? this.decimalPlaces : precision.value(),
+        boundingBox == null ? null : boundingBoxTypes(boundingBox));
+    return contextualSerializers.computeIfAbsent(key, this::createContextualSerializer);
   }
 
-  private NumberFormat createNumberFormat(int decimalPlaces) {
-    var format = DecimalFormat.getInstance(Locale.ROOT);
-    format.setRoundingMode(RoundingMode.HALF_UP);
-    format.setMinimumFractionDigits(0);
-    format.setMaximumFractionDigits(decimalPlaces);
-    format.setGroupingUsed(false);
-    return format;
+  private GeometrySerializer createContextualSerializer(ContextualKey key) {
+    IncludeBoundingBox bbox = key.boundingBoxTypes() == null
+        ? this.includeBoundingBox
+        : IncludeBoundingBox.forTypes(key.boundingBoxTypes().toArray(GeometryType[]::new));
+    return new GeometrySerializer(bbox, key.decimalPlaces(), this.ringOrientation);
+  }
+
+  private static Set<GeometryType> boundingBoxTypes(GeoJsonBoundingBox annotation) {
+    if (annotation.value().length == 0) {
+      return EnumSet.allOf(GeometryType.class);
+    }
+    var types = EnumSet.noneOf(GeometryType.class);
+    Collections.addAll(types, annotation.value());
+    return types;
   }
 
   @Override
@@ -172,22 +214,46 @@ public class GeometrySerializer extends ValueSerializer<Geometry> {
   private void serializeCoordinates(Polygon value, JsonGenerator generator, SerializationContext provider) {
     generator.writeStartArray();
     if (!value.isEmpty()) {
-      serializeCoordinates(value.getExteriorRing(), generator, provider);
+      serializeRing(value.getExteriorRing(), true, generator, provider);
       for (int i = 0; i < value.getNumInteriorRing(); ++i) {
-        serializeCoordinates(value.getInteriorRingN(i), generator, provider);
+        serializeRing(value.getInteriorRingN(i), false, generator, provider);
       }
     }
     generator.writeEndArray();
   }
 
+  private void serializeRing(LineString ring, boolean shell, JsonGenerator generator, SerializationContext provider) {
+    CoordinateSequence sequence = ring.getCoordinateSequence();
+    boolean reverse = ringOrientation != RingOrientation.PRESERVE
+        && ringOrientation.needsReversal(Area.ofRingSigned(sequence), shell);
+    serializeCoordinates(sequence, reverse, generator, provider);
+  }
+
   private void serializeCoordinates(LineString value, JsonGenerator generator, SerializationContext provider) {
-    serializeCoordinates(value.getCoordinateSequence(), generator, provider);
+    serializeCoordinates(value.getCoordinateSequence(), false, generator, provider);
   }
 
-  private void serializeCoordinates(CoordinateSequence value, JsonGenerator generator, SerializationContext provider) {
+  private void serializeCoordinates(CoordinateSequence value, boolean reverse, JsonGenerator generator,
+      SerializationContext provider) {
+    if (RawCoordinateWriter.supports(generator)) {
+      rawCoordinateWriter.write(value, reverse, generator);
+      return;
+    }
     generator.writeStartArray();
     for (int i = 0; i < value.size(); ++i) {
-      serializeCoordinate(value.getCoordinate(i), generator, provider);
+      serializeCoordinate(value, reverse ? value.size() - 1 - i : i, generator, provider);
+    }
+    generator.writeEndArray();
+  }
+
+  private void serializeCoordinate(CoordinateSequence value, int index, JsonGenerator generator,
+      SerializationContext provider) {
+    generator.writeStartArray();
+    generator.writeNumber(formatAsNumber(value.getX(index)));
+    generator.writeNumber(formatAsNumber(value.getY(index)));
+    double z = value.getZ(index);
+    if (!Double.isNaN(z) && Double.isFinite(z)) {
+      generator.writeNumber(formatAsNumber(z));
     }
     generator.writeEndArray();
   }
@@ -207,6 +273,8 @@ public class GeometrySerializer extends ValueSerializer<Geometry> {
   }
 
   private double formatAsNumber(double value) {
-    return Double.parseDouble(decimalFormat.format(value));
+    return rounding.round(value);
   }
+
+  private record ContextualKey(int decimalPlaces, Set<GeometryType> boundingBoxTypes) {}
 }
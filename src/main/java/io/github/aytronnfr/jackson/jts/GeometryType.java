@@ -1,20 +1,36 @@
 package io.github.aytronnfr.jackson.jts;
 
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
 
 public enum GeometryType {
-  POINT("Point"),
-  MULTI_POINT("MultiPoint"),
-  LINE_STRING("LineString"),
-  MULTI_LINE_STRING("MultiLineString"),
-  POLYGON("Polygon"),
-  MULTI_POLYGON("MultiPolygon"),
-  GEOMETRY_COLLECTION("GeometryCollection");
+  POINT("Point", Point.class),
+  MULTI_POINT("MultiPoint", MultiPoint.class),
+  LINE_STRING("LineString", LineString.class),
+  MULTI_LINE_STRING("MultiLineString", MultiLineString.class),
+  POLYGON("Polygon", Polygon.class),
+  MULTI_POLYGON("MultiPolygon", MultiPolygon.class),
+  GEOMETRY_COLLECTION("GeometryCollection", GeometryCollection.class);
+
+  // GeoJSON names and constant names; the constant names are upper case so a case-insensitive match is one lookup
+  private static final Map<String, GeometryType> BY_NAME = createLookup();
 
   private final String jsonName;
+  private final Class<? extends Geometry> geometryClass;
 
-  GeometryType(String jsonName) {
+  GeometryType(String jsonName, Class<? extends Geometry> geometryClass) {
     this.jsonName = jsonName;
+    this.geometryClass = geometryClass;
   }
 
   @Override
@@ -22,14 +38,29 @@ public enum GeometryType {
     return jsonName;
   }
 
+  Class<? extends Geometry> geometryClass() {
+    return geometryClass;
+  }
+
   static Optional<GeometryType> fromString(String value) {
     if (value == null) return Optional.empty();
-    String v = value.trim();
-    for (GeometryType t : values()) {
-      if (t.jsonName.equals(v) || t.name().equalsIgnoreCase(v)) {
-        return Optional.of(t);
+    GeometryType type = BY_NAME.get(value);
+    if (type == null) {
+      String v = value.trim();
+      type = BY_NAME.get(v);
+      if (type == null) {
+        type = BY_NAME.get(v.toUpperCase(Locale.ROOT));
       }
     }
-    return Optional.empty();
+    return Optional.ofNullable(type);
+  }
+
+  private static Map<String, GeometryType> createLookup() {
+    Map<String, GeometryType> lookup = new HashMap<>();
+    for (GeometryType t : values()) {
+      lookup.put(t.jsonName, t);
+      lookup.put(t.name(), t);
+    }
+    return Map.copyOf(lookup);
   }
 }
@@ -0,0 +1,26 @@
+package io.github.aytronnfr.jackson.jts;
+
+import java.util.List;
+import java.util.Objects;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.index.SpatialIndex;
+
+/**
+ * A deserialized {@link GeometryCollection} together with a {@link SpatialIndex} over its members, filled while the
+ * collection was read. Deserialize GeoJSON into this type instead of {@link GeometryCollection} to get both at once.
+ */
+public record IndexedGeometryCollection(GeometryCollection geometries, SpatialIndex index) {
+
+  public IndexedGeometryCollection {
+    Objects.requireNonNull(geometries);
+    Objects.requireNonNull(index);
+  }
+
+  /** Members whose envelope intersects {@code searchEnvelope}; like any index query, candidates may be false hits. */
+  @SuppressWarnings("unchecked")
+  public List<Geometry> query(Envelope searchEnvelope) {
+    return index.query(searchEnvelope);
+  }
+}
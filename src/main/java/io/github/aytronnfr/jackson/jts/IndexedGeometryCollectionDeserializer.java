@@ -0,0 +1,53 @@
+package io.github.aytronnfr.jackson.jts;
+
+import java.util.Objects;
+import java.util.function.Supplier;
+import org.locationtech.jts.index.SpatialIndex;
+import org.locationtech.jts.index.strtree.STRtree;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.BeanProperty;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.ValueDeserializer;
+
+/**
+ * Deserializes a GeoJSON {@code GeometryCollection} into an {@link IndexedGeometryCollection}, inserting each member
+ * into a fresh index as soon as it is read.
+ *
+ * <p>{@link JtsModule} registers it with an {@link STRtree}. For read-only data, a packed Hilbert R-tree can be used
+ * instead: {@code new IndexedGeometryCollectionDeserializer(deserializer, HPRtree::new)}.
+ */
+public class IndexedGeometryCollectionDeserializer extends ValueDeserializer<IndexedGeometryCollection> {
+
+  private final GeometryDeserializer delegate;
+  private final Supplier<? extends SpatialIndex> indexFactory;
+
+  public IndexedGeometryCollectionDeserializer(GeometryDeserializer delegate) {
+    this(delegate, STRtree::new);
+  }
+
+  public IndexedGeometryCollectionDeserializer(GeometryDeserializer delegate,
+      Supplier<? extends SpatialIndex> indexFactory) {
+    this.delegate = Objects.requireNonNull(delegate);
+    this.indexFactory = Objects.requireNonNull(indexFactory);
+  }
+
+  @Override
+  public IndexedGeometryCollection deserialize(JsonParser p, DeserializationContext context) throws JacksonException {
+    return delegate.deserializeIndexed(p, context, indexFactory.get());
+  }
+
+  @Override
+  public ValueDeserializer<?> createContextual(DeserializationContext context, BeanProperty property) {
+    ValueDeserializer<?> contextual = delegate.createContextual(context, property);
+    if (contextual == delegate) {
+      return this;
+    }
+    return new IndexedGeometryCollectionDeserializer((GeometryDeserializer) contextual, indexFactory);
+  }
+
+  @Override
+  public Class<?> handledType() {
+    return IndexedGeometryCollection.class;
+  }
+}
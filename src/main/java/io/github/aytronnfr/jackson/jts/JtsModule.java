@@ -9,7 +9,6 @@ import org.locationtech.jts.geom.MultiPoint;
 import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
-import tools.jackson.databind.ValueDeserializer;
 import tools.jackson.databind.ValueSerializer;
 import tools.jackson.databind.module.SimpleModule;
 
@@ -19,6 +18,8 @@ public class JtsModule extends SimpleModule {
   private final GeometryFactory geometryFactory;
   private final IncludeBoundingBox includeBoundingBox;
   private final int decimalPlaces;
+  private final VertexInterning vertexInterning;
+  private final RingOrientation ringOrientation;
 
   public JtsModule() {
     this(null, null, GeometrySerializer.DEFAULT_DECIMAL_PLACES);
@@ -49,11 +50,23 @@ public class JtsModule extends SimpleModule {
   }
 
   public JtsModule(GeometryFactory geometryFactory, IncludeBoundingBox includeBoundingBox, int decimalPlaces) {
+    this(geometryFactory, includeBoundingBox, decimalPlaces, null);
+  }
+
+  public JtsModule(GeometryFactory geometryFactory, IncludeBoundingBox includeBoundingBox, int decimalPlaces,
+      VertexInterning vertexInterning) {
+    this(geometryFactory, includeBoundingBox, decimalPlaces, vertexInterning, null);
+  }
+
+  public JtsModule(GeometryFactory geometryFactory, IncludeBoundingBox includeBoundingBox, int decimalPlaces,
+      VertexInterning vertexInterning, RingOrientation ringOrientation) {
     super(); // Jackson 3: pas besoin de VersionInfo, optionnel
     this.geometryFactory = geometryFactory;
     this.includeBoundingBox = includeBoundingBox;
     if (decimalPlaces < 0) throw new IllegalArgumentException("decimalPlaces < 0");
     this.decimalPlaces = decimalPlaces;
+    this.vertexInterning = vertexInterning;
+    this.ringOrientation = ringOrientation;
   }
 
   @Override
@@ -70,15 +83,16 @@ public class JtsModule extends SimpleModule {
     addDeserializer(MultiLineString.class, new TypeSafeGeometryDeserializer<>(MultiLineString.class, deserializer));
     addDeserializer(MultiPolygon.class, new TypeSafeGeometryDeserializer<>(MultiPolygon.class, deserializer));
     addDeserializer(GeometryCollection.class, new TypeSafeGeometryDeserializer<>(GeometryCollection.class, deserializer));
+    addDeserializer(IndexedGeometryCollection.class, new IndexedGeometryCollectionDeserializer(deserializer));
 
     super.setupModule(context);
   }
 
   private ValueSerializer<Geometry> getSerializer() {
-    return new GeometrySerializer(this.includeBoundingBox, this.decimalPlaces);
+    return new GeometrySerializer(this.includeBoundingBox, this.decimalPlaces, this.ringOrientation);
   }
 
-  private ValueDeserializer<Geometry> getDeserializer() {
-    return new GeometryDeserializer(this.geometryFactory);
+  private GeometryDeserializer getDeserializer() {
+    return new GeometryDeserializer(this.geometryFactory, this.vertexInterning, this.ringOrientation);
   }
 }
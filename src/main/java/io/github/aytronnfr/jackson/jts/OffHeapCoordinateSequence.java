@@ -0,0 +1,136 @@
+package io.github.aytronnfr.jackson.jts;
+
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * A {@link CoordinateSequence} whose ordinates live in a slab of an {@link OffHeapCoordinateSequenceFactory}, packed
+ * as {@code x, y[, z][, m]} per coordinate. {@link Coordinate} objects are only created on request.
+ */
+public final class OffHeapCoordinateSequence implements CoordinateSequence {
+  private final OffHeapCoordinateSequenceFactory factory;
+  private final OffHeapCoordinateSequenceFactory.Slab slab;
+  private final int offset;
+  private final int size;
+  private final int dimension;
+  private final int measures;
+
+  OffHeapCoordinateSequence(OffHeapCoordinateSequenceFactory factory, OffHeapCoordinateSequenceFactory.Slab slab,
+      int offset, int size, int dimension, int measures) {
+    this.factory = factory;
+    this.slab = slab;
+    this.offset = offset;
+    this.size = size;
+    this.dimension = dimension;
+    this.measures = measures;
+  }
+
+  @Override
+  public int getDimension() {
+    return dimension;
+  }
+
+  @Override
+  public int getMeasures() {
+    return measures;
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public Coordinate getCoordinate(int i) {
+    Coordinate coordinate = createCoordinate();
+    getCoordinate(i, coordinate);
+    return coordinate;
+  }
+
+  @Override
+  public Coordinate getCoordinateCopy(int i) {
+    return getCoordinate(i);
+  }
+
+  @Override
+  public void getCoordinate(int index, Coordinate coord) {
+    coord.setX(getX(index));
+    coord.setY(getY(index));
+    if (hasZ()) {
+      coord.setZ(getZ(index));
+    }
+    if (hasM()) {
+      coord.setM(getM(index));
+    }
+  }
+
+  @Override
+  public double getX(int index) {
+    return getOrdinate(index, X);
+  }
+
+  @Override
+  public double getY(int index) {
+    return getOrdinate(index, Y);
+  }
+
+  @Override
+  public double getOrdinate(int index, int ordinateIndex) {
+    return slab.buffer().get(position(index, ordinateIndex));
+  }
+
+  @Override
+  public void setOrdinate(int index, int ordinateIndex, double value) {
+    slab.buffer().put(position(index, ordinateIndex), value);
+  }
+
+  @Override
+  public Coordinate[] toCoordinateArray() {
+    Coordinate[] coordinates = new Coordinate[size];
+    for (int i = 0; i < size; ++i) {
+      coordinates[i] = getCoordinate(i);
+    }
+    return coordinates;
+  }
+
+  @Override
+  public Envelope expandEnvelope(Envelope env) {
+    for (int i = 0; i < size; ++i) {
+      env.expandToInclude(getX(i), getY(i));
+    }
+    return env;
+  }
+
+  /** The copy is allocated in the same factory, so it shares this sequence's lifetime. */
+  @Override
+  public CoordinateSequence copy() {
+    return factory.create(this);
+  }
+
+  /** @deprecated use {@link #copy()} */
+  @Deprecated
+  @Override
+  public Object clone() {
+    return copy();
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("(");
+    for (int i = 0; i < size; ++i) {
+      if (i > 0) builder.append(", ");
+      builder.append(getX(i)).append(' ').append(getY(i));
+      for (int ordinate = 2; ordinate < dimension; ++ordinate) {
+        builder.append(' ').append(getOrdinate(i, ordinate));
+      }
+    }
+    return builder.append(')').toString();
+  }
+
+  private int position(int index, int ordinateIndex) {
+    if (index < 0 || index >= size) throw new IndexOutOfBoundsException(index);
+    if (ordinateIndex < 0 || ordinateIndex >= dimension) throw new IndexOutOfBoundsException(ordinateIndex);
+    return offset + index * dimension + ordinateIndex;
+  }
+}
@@ -0,0 +1,192 @@
+package io.github.aytronnfr.jackson.jts;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFactory;
+import org.locationtech.jts.geom.Coordinates;
+
+/**
+ * A {@link CoordinateSequenceFactory} whose sequences keep their ordinates in direct (off-heap) memory, so very large
+ * layers add almost nothing to the heap the garbage collector has to trace.
+ *
+ * <p>The factory acts as an arena: ordinates are bump-allocated from large direct slabs, and {@link #close()} frees
+ * the native memory of every slab at once, without waiting for the garbage collector. Any sequence created by the
+ * factory (and so any geometry built on it) must not be used after {@code close()}; doing so throws
+ * {@link IllegalStateException}. {@code close()} must not run while other threads are still reading or writing those
+ * sequences: an access already in progress could touch freed memory.
+ *
+ * <p>Memory is freed through the JDK's {@code sun.misc.Unsafe.invokeCleaner} (module {@code jdk.unsupported}). On a
+ * runtime without it, {@code close()} still makes the sequences unusable, but the native memory is only returned
+ * once the slabs are garbage collected.
+ *
+ * <p>Slabs are direct {@link ByteBuffer}s, so they count against {@code -XX:MaxDirectMemorySize}, which defaults to the
+ * maximum heap size ({@code -Xmx}). Past that limit allocation fails with
+ * {@code OutOfMemoryError: Cannot reserve ... bytes of direct buffer memory}. Layers larger than the heap need the
+ * limit raised explicitly, e.g. {@code -XX:MaxDirectMemorySize=16g}.
+ *
+ * <p>Use it through a {@link org.locationtech.jts.geom.GeometryFactory} passed to {@link JtsModule}:
+ * {@link GeometryDeserializer} then writes ordinates straight into the off-heap sequences, and
+ * {@link GeometrySerializer} reads them back without creating {@link Coordinate} objects.
+ */
+public class OffHeapCoordinateSequenceFactory implements CoordinateSequenceFactory, AutoCloseable {
+  static final int DEFAULT_SLAB_SIZE = 1 << 20;
+  private static final MethodHandle INVOKE_CLEANER = findInvokeCleaner();
+
+  private final int slabCapacity;
+  private final List<Slab> slabs = new ArrayList<>();
+  private Slab current;
+  private Slab empty;
+  private boolean closed;
+
+  public OffHeapCoordinateSequenceFactory() {
+    this(DEFAULT_SLAB_SIZE);
+  }
+
+  /** @param slabSize size in bytes of each direct buffer ordinates are carved from */
+  public OffHeapCoordinateSequenceFactory(int slabSize) {
+    if (slabSize < Double.BYTES) throw new IllegalArgumentException("slabSize < " + Double.BYTES);
+    this.slabCapacity = slabSize / Double.BYTES;
+  }
+
+  @Override
+  public CoordinateSequence create(Coordinate[] coordinates) {
+    if (coordinates == null || coordinates.length == 0 || coordinates[0] == null) {
+      return create(0, 3, 0);
+    }
+    var sequence = create(coordinates.length, Coordinates.dimension(coordinates[0]),
+        Coordinates.measures(coordinates[0]));
+    for (int i = 0; i < coordinates.length; ++i) {
+      for (int ordinate = 0; ordinate < sequence.getDimension(); ++ordinate) {
+        sequence.setOrdinate(i, ordinate, coordinates[i].getOrdinate(ordinate));
+      }
+    }
+    return sequence;
+  }
+
+  @Override
+  public CoordinateSequence create(CoordinateSequence coordinates) {
+    var sequence = create(coordinates.size(), coordinates.getDimension(), coordinates.getMeasures());
+    for (int i = 0; i < coordinates.size(); ++i) {
+      for (int ordinate = 0; ordinate < sequence.getDimension(); ++ordinate) {
+        sequence.setOrdinate(i, ordinate, coordinates.getOrdinate(i, ordinate));
+      }
+    }
+    return sequence;
+  }
+
+  @Override
+  public CoordinateSequence create(int size, int dimension) {
+    return create(size, dimension, Math.max(0, dimension - 3));
+  }
+
+  @Override
+  public OffHeapCoordinateSequence create(int size, int dimension, int measures) {
+    if (dimension < 2 || dimension > 4) throw new IllegalArgumentException("Invalid dimension: " + dimension);
+    if (measures < 0 || dimension - measures < 2) throw new IllegalArgumentException("Invalid measures: " + measures);
+    int length = Math.multiplyExact(size, dimension);
+    synchronized (this) {
+      Slab slab = allocate(length);
+      int offset = slab.position;
+      slab.position += length;
+      return new OffHeapCoordinateSequence(this, slab, offset, size, dimension, measures);
+    }
+  }
+
+  /** Frees all off-heap memory; sequences created by this factory become unusable. */
+  @Override
+  public synchronized void close() {
+    closed = true;
+    for (Slab slab : slabs) {
+      slab.release();
+    }
+    slabs.clear();
+    current = null;
+    empty = null;
+  }
+
+  private Slab allocate(int length) {
+    if (closed) throw new IllegalStateException("OffHeapCoordinateSequenceFactory is closed");
+    if (current != null && current.remaining() >= length) {
+      return current;
+    }
+    if (length == 0) {
+      if (empty == null) {
+        empty = new Slab(0);
+        slabs.add(empty);
+      }
+      return empty;
+    }
+    // sequences larger than a quarter slab get their own buffer rather than wasting the current slab's tail
+    if (length > slabCapacity / 4) {
+      var dedicated = new Slab(length);
+      slabs.add(dedicated);
+      return dedicated;
+    }
+    current = new Slab(slabCapacity);
+    slabs.add(current);
+    return current;
+  }
+
+  private static MethodHandle findInvokeCleaner() {
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      return MethodHandles.lookup()
+          .findVirtual(unsafeClass, "invokeCleaner", MethodType.methodType(void.class, ByteBuffer.class))
+          .bindTo(theUnsafe.get(null));
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  static final class Slab {
+    private final int capacity;
+    // volatile so that once close() has run, every thread sees the slab as released
+    volatile DoubleBuffer buffer;
+    private ByteBuffer memory;
+    int position;
+
+    Slab(int capacity) {
+      this.capacity = capacity;
+      if (capacity == 0) {
+        this.buffer = DoubleBuffer.allocate(0);
+      } else {
+        this.memory = ByteBuffer.allocateDirect(Math.multiplyExact(capacity, Double.BYTES));
+        this.buffer = memory.order(ByteOrder.nativeOrder()).asDoubleBuffer();
+      }
+    }
+
+    int remaining() {
+      return capacity - position;
+    }
+
+    void release() {
+      buffer = null;
+      ByteBuffer released = memory;
+      memory = null;
+      if (released != null && INVOKE_CLEANER != null) {
+        try {
+          INVOKE_CLEANER.invokeExact(released);
+        } catch (Throwable e) {
+          throw new IllegalStateException("Could not free off-heap slab", e);
+        }
+      }
+    }
+
+    DoubleBuffer buffer() {
+      DoubleBuffer b = buffer;
+      if (b == null) throw new IllegalStateException("OffHeapCoordinateSequenceFactory is closed");
+      return b;
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package io.github.aytronnfr.jackson.jts;
+
+import org.locationtech.jts.geom.CoordinateSequence;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.core.io.NumberOutput;
+import tools.jackson.core.json.JsonGeneratorBase;
+import tools.jackson.core.json.JsonWriteFeature;
+
+/**
+ * Encodes a whole {@link CoordinateSequence} as a JSON array into a per-thread buffer and emits it with a single
+ * {@link JsonGenerator#writeRawValue(char[], int, int)} call, instead of one generator call per token.
+ *
+ * <p>The output is byte-identical to the token-by-token path: {@link DecimalRounding} writes each rounded ordinate's
+ * digits straight into the buffer in the format {@code writeNumber(double)} produces, so no String is created per
+ * ordinate. Ordinates outside its allocation-free range go through the same {@link NumberOutput} routine the
+ * generator uses. Sequences too long for the buffer are written as one raw value followed by raw continuation
+ * chunks, so the buffer never grows.
+ *
+ * <p>The buffer holds chars, not UTF-8 bytes, so {@code UTF8JsonGenerator} copies each chunk into its byte buffer
+ * once more. Jackson's only raw-bytes route is a {@link tools.jackson.core.SerializableString}, and when a chunk does
+ * not fit the generator's free space, that route asks for an exact-length {@code byte[]} copy of the chunk. That
+ * would mean an allocation per chunk, where the char copy is a cache-hot pass over plain ASCII.
+ */
+final class RawCoordinateWriter {
+  private static final int CAPACITY = 8192;
+  // "[" + three ordinates of at most 24 chars, each possibly quoted, separators and "]"
+  private static final int MAX_COORDINATE_LENGTH = 96;
+  private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[CAPACITY]);
+
+  private final DecimalRounding rounding;
+
+  RawCoordinateWriter(DecimalRounding rounding) {
+    this.rounding = rounding;
+  }
+
+  /**
+   * Raw output is only safe for plain, compact JSON: other formats (and {@code TokenBuffer}) cannot take raw text, a
+   * pretty printer would lay out the array differently, and numbers-as-strings would quote every ordinate.
+   */
+  static boolean supports(JsonGenerator generator) {
+    return generator instanceof JsonGeneratorBase json
+        && json.getPrettyPrinter() == null
+        && !json.isEnabled(JsonWriteFeature.WRITE_NUMBERS_AS_STRINGS);
+  }
+
+  /**
+   * Writes {@code sequence}, last coordinate first when {@code reverse} is set, as a JSON array value;
+   * {@link #supports(JsonGenerator)} must hold for the generator.
+   */
+  void write(CoordinateSequence sequence, boolean reverse, JsonGenerator generator) {
+    var out = new Output(BUFFER.get(), generator);
+    out.append('[');
+    for (int i = 0; i < sequence.size(); ++i) {
+      if (i > 0) out.append(',');
+      out.reserve(MAX_COORDINATE_LENGTH);
+      appendCoordinate(sequence, reverse ? sequence.size() - 1 - i : i, out);
+    }
+    out.append(']');
+    out.flush();
+  }
+
+  private void appendCoordinate(CoordinateSequence sequence, int index, Output out) {
+    out.append('[');
+    appendOrdinate(sequence.getX(index), out);
+    out.append(',');
+    appendOrdinate(sequence.getY(index), out);
+    double z = sequence.getZ(index);
+    if (!Double.isNaN(z) && Double.isFinite(z)) {
+      out.append(',');
+      appendOrdinate(z, out);
+    }
+    out.append(']');
+  }
+
+  private void appendOrdinate(double value, Output out) {
+    int end = rounding.write(value, out.chars, out.length);
+    if (end >= 0) {
+      out.length = end;
+      return;
+    }
+    double rounded = rounding.round(value);
+    String text = NumberOutput.toString(rounded, out.fastDoubles);
+    if (!Double.isFinite(rounded) && out.quoteNonFinite) {
+      out.append('"');
+      out.append(text);
+      out.append('"');
+    } else {
+      out.append(text);
+    }
+  }
+
+  private static final class Output {
+    private final char[] chars;
+    private final JsonGenerator generator;
+    private final boolean fastDoubles;
+    private final boolean quoteNonFinite;
+    private int length;
+    private boolean valueStarted;
+
+    Output(char[] chars, JsonGenerator generator) {
+      this.chars = chars;
+      this.generator = generator;
+      this.fastDoubles = generator.isEnabled(StreamWriteFeature.USE_FAST_DOUBLE_WRITER);
+      this.quoteNonFinite = ((JsonGeneratorBase) generator).isEnabled(JsonWriteFeature.WRITE_NAN_AS_STRINGS);
+    }
+
+    void append(char c) {
+      chars[length++] = c;
+    }
+
+    void append(String s) {
+      s.getChars(0, s.length(), chars, length);
+      length += s.length();
+    }
+
+    void reserve(int extra) {
+      if (length + extra > chars.length) {
+        flush();
+      }
+    }
+
+    /**
+     * The first chunk goes through {@code writeRawValue} so the generator adds separators and counts one value; later
+     * chunks of the same array are plain raw text.
+     */
+    void flush() {
+      if (!valueStarted) {
+        generator.writeRawValue(chars, 0, length);
+        valueStarted = true;
+      } else if (length > 0) {
+        generator.writeRaw(chars, 0, length);
+      }
+      length = 0;
+    }
+  }
+}
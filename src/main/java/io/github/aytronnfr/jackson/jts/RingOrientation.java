@@ -0,0 +1,18 @@
+package io.github.aytronnfr.jackson.jts;
+
+/** How polygon ring winding is handled by {@link GeometrySerializer} and {@link GeometryDeserializer}. */
+public enum RingOrientation {
+  /** Rings are written and read in the order they come in. */
+  PRESERVE,
+  /**
+   * Exterior rings are counter-clockwise and holes clockwise, as required by RFC 7946. Each ring's signed area is
+   * computed as it is written or read, and the ring is traversed or stored in reverse when needed, without copying.
+   */
+  RFC7946;
+
+  /** {@code signedArea} follows JTS {@code Area.ofRingSigned}: positive for clockwise rings. */
+  boolean needsReversal(double signedArea, boolean shell) {
+    if (this == PRESERVE) return false;
+    return shell ? signedArea > 0 : signedArea < 0;
+  }
+}
@@ -1,35 +1,64 @@
 package io.github.aytronnfr.jackson.jts;
 
+import java.util.EnumSet;
 import java.util.Objects;
+import java.util.Set;
 import org.locationtech.jts.geom.Geometry;
 import tools.jackson.core.JsonParser;
+import tools.jackson.databind.BeanProperty;
 import tools.jackson.databind.DatabindException;
 import tools.jackson.databind.DeserializationContext;
-import tools.jackson.databind.JavaType;
 import tools.jackson.databind.ValueDeserializer;
 import tools.jackson.databind.exc.InvalidDefinitionException;
-import tools.jackson.databind.type.TypeFactory;
 
+/**
+ * Deserializes one geometry subtype. With a {@link GeometryDeserializer} delegate, the {@code type} member is checked
+ * as it is read, so a mismatching geometry is rejected before its coordinates are parsed.
+ */
 public class TypeSafeGeometryDeserializer<T extends Geometry> extends ValueDeserializer<T> {
 
+  private final Class<T> clazz;
   private final ValueDeserializer<Geometry> delegate;
-  private final JavaType type;
+  private final Set<GeometryType> acceptedTypes;
 
   public TypeSafeGeometryDeserializer(Class<T> clazz, ValueDeserializer<Geometry> delegate) {
+    this.clazz = Objects.requireNonNull(clazz);
     this.delegate = Objects.requireNonNull(delegate);
-    this.type = TypeFactory.createDefaultInstance().constructType(Objects.requireNonNull(clazz));
+    this.acceptedTypes = acceptedTypes(clazz);
+  }
+
+  @Override
+  public ValueDeserializer<?> createContextual(DeserializationContext context, BeanProperty property) {
+    ValueDeserializer<?> contextual = delegate.createContextual(context, property);
+    if (contextual != delegate && contextual instanceof GeometryDeserializer geometryDeserializer) {
+      return new TypeSafeGeometryDeserializer<>(clazz, geometryDeserializer);
+    }
+    return this;
   }
 
   @Override
   public T deserialize(JsonParser p, DeserializationContext context)
       throws DatabindException {
+    if (delegate instanceof GeometryDeserializer geometryDeserializer) {
+      return clazz.cast(geometryDeserializer.deserialize(p, context, acceptedTypes, clazz));
+    }
     Object obj = delegate.deserialize(p, context);
     if (obj == null) {
       return null;
-    } else if (type.isTypeOrSuperTypeOf(obj.getClass())) {
-      return (T) obj;
+    } else if (clazz.isInstance(obj)) {
+      return clazz.cast(obj);
     } else {
-      throw InvalidDefinitionException.from(context, String.format("Invalid type for %s: %s", type, obj.getClass()));
+      throw InvalidDefinitionException.from(context, String.format("Invalid type for %s: %s", clazz.getName(), obj.getClass()));
+    }
+  }
+
+  private static Set<GeometryType> acceptedTypes(Class<?> clazz) {
+    var types = EnumSet.noneOf(GeometryType.class);
+    for (GeometryType type : GeometryType.values()) {
+      if (clazz.isAssignableFrom(type.geometryClass())) {
+        types.add(type);
+      }
     }
+    return types;
   }
 }
@@ -0,0 +1,63 @@
+package io.github.aytronnfr.jackson.jts;
+
+import java.util.function.Consumer;
+
+/**
+ * Opt-in sharing of identical vertices on deserialization. Within one deserialization scope (a single top-level
+ * geometry, typically a {@code GeometryCollection}), coordinates with bit-identical ordinates resolve to the same
+ * {@link org.locationtech.jts.geom.Coordinate} instance, so polygons sharing boundaries do not each hold a copy.
+ *
+ * <p>Geometry values are unchanged, but shared instances mean that mutating a coordinate in place affects every
+ * geometry using it. Interning only applies where the geometry keeps the {@code Coordinate} it is given: the default
+ * array-based coordinate sequences, and not {@code MultiPoint} members, which JTS copies into sequences of their own.
+ */
+public final class VertexInterning {
+  private static final VertexInterning DISABLED = new VertexInterning(0, null);
+
+  private final int maxVertices;
+  private final Consumer<Stats> listener;
+
+  private VertexInterning(int maxVertices, Consumer<Stats> listener) {
+    this.maxVertices = maxVertices;
+    this.listener = listener;
+  }
+
+  public static VertexInterning disabled() {
+    return DISABLED;
+  }
+
+  /** Interns up to {@code maxVertices} distinct vertices per scope; later new vertices are not shared. */
+  public static VertexInterning bounded(int maxVertices) {
+    return bounded(maxVertices, null);
+  }
+
+  /** Same as {@link #bounded(int)}, reporting the savings of each scope to {@code listener}. */
+  public static VertexInterning bounded(int maxVertices, Consumer<Stats> listener) {
+    if (maxVertices <= 0) throw new IllegalArgumentException("maxVertices <= 0");
+    return new VertexInterning(maxVertices, listener);
+  }
+
+  boolean isEnabled() {
+    return maxVertices > 0;
+  }
+
+  CoordinateInterner newScope() {
+    return isEnabled() ? new CoordinateInterner(maxVertices) : null;
+  }
+
+  void report(CoordinateInterner interner) {
+    if (listener != null && interner != null) {
+      listener.accept(interner.stats());
+    }
+  }
+
+  /**
+   * Savings of one scope.
+   *
+   * @param vertices coordinates eligible for interning; MultiPoint members and coordinates the sequence factory copies
+   *     are read but not counted
+   * @param sharedVertices coordinates that reused an existing instance
+   * @param estimatedBytesSaved heap no longer retained by the resulting geometries
+   */
+  public record Stats(long vertices, long sharedVertices, long estimatedBytesSaved) {}
+}
@@ -0,0 +1,115 @@
+package io.github.aytronnfr.jackson.jts.allocation;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import io.github.aytronnfr.jackson.jts.JtsModule;
+import io.github.aytronnfr.jackson.jts.support.GeometryFixtures;
+import io.github.aytronnfr.jackson.jts.support.SyntheticGeometries;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Fails when serializing or deserializing large geometries allocates more bytes per vertex than the budget for that
+ * shape.
+ *
+ * <p>Baseline measured on Temurin 21.0.1 (G1, compressed oops), as the minimum over the measured runs:
+ * <pre>
+ *   shape                          serialize   deserialize   (bytes per vertex)
+ *   100k-vertex LineString         0.004       208.8
+ *   Polygon with 1000 holes        0.50        212.4
+ *   GeometryCollection 64 deep     0.37        212.6
+ * </pre>
+ * Deserialization budgets are 1.25&times; those numbers: a JSON tree node and two number nodes per vertex, plus the
+ * {@link org.locationtech.jts.geom.Coordinate}. Serialization allocates nothing per vertex, only a per-call and
+ * per-sequence constant, so its budget is a flat 1 byte per vertex: any per-vertex object breaks it.
+ *
+ * <p>Re-tune on purpose after a change that moves these numbers. {@code -Djts.allocation.serializeBytesPerVertex=...}
+ * and {@code -Djts.allocation.deserializeBytesPerVertex=...} (or the Gradle properties of the same name) override the
+ * budgets of every shape.
+ */
+class AllocationBudgetTest {
+  private static final long SEED = 7946L;
+  private static final int WARMUP_ITERATIONS = 3;
+  private static final int MEASURED_ITERATIONS = 5;
+
+  private static final double SERIALIZE_BUDGET = 1;
+
+  private static com.sun.management.ThreadMXBean threadMXBean;
+
+  private final GeometryFactory geometryFactory = GeometryFixtures.defaultFactory();
+
+  private final JsonMapper mapper = JsonMapper.builder()
+      .addModule(new JtsModule(geometryFactory))
+      .build();
+
+  @BeforeAll
+  static void requireAllocationCounters() {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+        "Thread allocation counters are not available on this JVM");
+    threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    assumeTrue(threadMXBean.isThreadAllocatedMemorySupported(), "Thread allocation counters are not supported");
+    threadMXBean.setThreadAllocatedMemoryEnabled(true);
+  }
+
+  @Test
+  void longLineString_staysWithinBudget() {
+    assertWithinBudget("100k-vertex LineString", new SyntheticGeometries(geometryFactory, SEED).lineString(100_000),
+        SERIALIZE_BUDGET, 261);
+  }
+
+  @Test
+  void polygonWithManyHoles_staysWithinBudget() {
+    assertWithinBudget("Polygon with 1000 holes",
+        new SyntheticGeometries(geometryFactory, SEED).polygonWithHoles(1_000, 64), SERIALIZE_BUDGET, 265);
+  }
+
+  @Test
+  void deepGeometryCollection_staysWithinBudget() {
+    assertWithinBudget("GeometryCollection 64 levels deep",
+        new SyntheticGeometries(geometryFactory, SEED).nestedCollection(64, 1_000), SERIALIZE_BUDGET, 266);
+  }
+
+  private void assertWithinBudget(String label, Geometry geometry, double serializeBudget, double deserializeBudget) {
+    double serializeLimit = budget("jts.allocation.serializeBytesPerVertex", serializeBudget);
+    double deserializeLimit = budget("jts.allocation.deserializeBytesPerVertex", deserializeBudget);
+    int vertices = geometry.getNumPoints();
+    byte[] json = mapper.writeValueAsBytes(geometry);
+
+    long serialized = minAllocatedBytes(() -> mapper.writeValue(OutputStream.nullOutputStream(), geometry));
+    long deserialized = minAllocatedBytes(() -> mapper.readValue(json, Geometry.class));
+
+    double serializePerVertex = (double) serialized / vertices;
+    double deserializePerVertex = (double) deserialized / vertices;
+    assertTrue(serializePerVertex <= serializeLimit, String.format(
+        "%s: serialization allocated %.2f bytes/vertex, budget is %.2f", label, serializePerVertex, serializeLimit));
+    assertTrue(deserializePerVertex <= deserializeLimit, String.format(
+        "%s: deserialization allocated %.2f bytes/vertex, budget is %.2f", label, deserializePerVertex,
+        deserializeLimit));
+  }
+
+  private static double budget(String property, double shapeDefault) {
+    String value = System.getProperty(property);
+    return value == null ? shapeDefault : Double.parseDouble(value);
+  }
+
+  /** Smallest allocation over several runs, after warm-up, so one-off class loading and JIT work are not counted. */
+  private static long minAllocatedBytes(Runnable action) {
+    for (int i = 0; i < WARMUP_ITERATIONS; ++i) {
+      action.run();
+    }
+    long threadId = Thread.currentThread().threadId();
+    long min = Long.MAX_VALUE;
+    for (int i = 0; i < MEASURED_ITERATIONS; ++i) {
+      long before = threadMXBean.getThreadAllocatedBytes(threadId);
+      action.run();
+      min = Math.min(min, threadMXBean.getThreadAllocatedBytes(threadId) - before);
+    }
+    return min;
+  }
+}
@@ -0,0 +1,86 @@
+package io.github.aytronnfr.jackson.jts.allocation;
+
+import io.github.aytronnfr.jackson.jts.JtsModule;
+import io.github.aytronnfr.jackson.jts.OffHeapCoordinateSequenceFactory;
+import io.github.aytronnfr.jackson.jts.support.GeometryFixtures;
+import io.github.aytronnfr.jackson.jts.support.SyntheticGeometries;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Compares GC behaviour while a large layer is held in memory with heap-backed and off-heap coordinate sequences.
+ *
+ * <p>Not a pass/fail test: run it with {@code ./gradlew test -Pjts.benchmark=true --tests '*OffHeapGcBenchmarkTest'}
+ * and read the logged collection counts and times.
+ */
+@EnabledIfSystemProperty(named = "jts.benchmark", matches = "true")
+class OffHeapGcBenchmarkTest {
+  private static final int LINES = 200;
+  private static final int VERTICES_PER_LINE = 10_000;
+  private static final int CHURN_ROUNDS = 50;
+
+  private final Logger log = Logger.getLogger(OffHeapGcBenchmarkTest.class.getName());
+
+  @Test
+  void heapVersusOffHeapLayer() {
+    GeometryFactory heapFactory = GeometryFixtures.defaultFactory();
+    List<byte[]> layer = encodeLayer(heapFactory);
+
+    log.info(run("heap", heapFactory, layer));
+    try (var sequenceFactory = new OffHeapCoordinateSequenceFactory()) {
+      var offHeapFactory = new GeometryFactory(heapFactory.getPrecisionModel(), heapFactory.getSRID(), sequenceFactory);
+      log.info(run("off-heap", offHeapFactory, layer));
+    }
+  }
+
+  private static List<byte[]> encodeLayer(GeometryFactory factory) {
+    var synthetic = new SyntheticGeometries(factory, 42L);
+    JsonMapper mapper = JsonMapper.builder().addModule(new JtsModule(factory)).build();
+    List<byte[]> layer = new ArrayList<>(LINES);
+    for (int i = 0; i < LINES; ++i) {
+      layer.add(mapper.writeValueAsBytes(synthetic.lineString(VERTICES_PER_LINE)));
+    }
+    return layer;
+  }
+
+  /** Loads the layer, keeps it alive, then allocates short-lived garbage so the collector has to run around it. */
+  private static String run(String label, GeometryFactory factory, List<byte[]> layer) {
+    JsonMapper mapper = JsonMapper.builder().addModule(new JtsModule(factory)).build();
+    System.gc();
+    long[] before = gcCountAndTime();
+
+    List<Geometry> retained = new ArrayList<>(layer.size());
+    for (byte[] json : layer) {
+      retained.add(mapper.readValue(json, Geometry.class));
+    }
+    for (int round = 0; round < CHURN_ROUNDS; ++round) {
+      for (byte[] json : layer.subList(0, 10)) {
+        mapper.readValue(json, Geometry.class);
+      }
+    }
+    System.gc();
+
+    long[] after = gcCountAndTime();
+    long heapUsed = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    return String.format("%s: %d geometries retained, %d collections, %d ms in GC, %d MB heap used after full GC",
+        label, retained.size(), after[0] - before[0], after[1] - before[1], heapUsed >> 20);
+  }
+
+  private static long[] gcCountAndTime() {
+    long count = 0;
+    long time = 0;
+    for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+      count += Math.max(0, gc.getCollectionCount());
+      time += Math.max(0, gc.getCollectionTime());
+    }
+    return new long[] {count, time};
+  }
+}
@@ -1,18 +1,38 @@
 package io.github.aytronnfr.jackson.jts.roundtrip;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import io.github.aytronnfr.jackson.jts.GeoJsonBoundingBox;
+import io.github.aytronnfr.jackson.jts.GeoJsonPrecision;
 import io.github.aytronnfr.jackson.jts.GeometryType;
 import io.github.aytronnfr.jackson.jts.IncludeBoundingBox;
+import io.github.aytronnfr.jackson.jts.IndexedGeometryCollection;
 import io.github.aytronnfr.jackson.jts.JtsModule;
+import io.github.aytronnfr.jackson.jts.OffHeapCoordinateSequenceFactory;
+import io.github.aytronnfr.jackson.jts.RingOrientation;
+import io.github.aytronnfr.jackson.jts.VertexInterning;
 import io.github.aytronnfr.jackson.jts.support.GeometryFixtures;
+import io.github.aytronnfr.jackson.jts.support.SyntheticGeometries;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.locationtech.jts.algorithm.Orientation;
 import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryCollection;
 import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
 import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import tools.jackson.core.json.JsonWriteFeature;
+import tools.jackson.databind.DatabindException;
+import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.json.JsonMapper;
 
 class Jackson3RoundTripTest {
@@ -33,6 +53,59 @@ class Jackson3RoundTripTest {
     }
   }
 
+  @Test
+  void rawCoordinateOutput_matchesTokenByTokenOutput() throws Exception {
+    for (Geometry input : GeometryFixtures.sampleGeometries(geometryFactory)) {
+      // valueToTree goes through a TokenBuffer, which always takes the token-by-token path
+      String expected = mapper.valueToTree(input).toString();
+
+      assertEquals(expected, mapper.writeValueAsString(input), "Raw output differs for " + input.getGeometryType());
+      assertEquals(expected, new String(mapper.writeValueAsBytes(input), StandardCharsets.UTF_8));
+    }
+  }
+
+  @Test
+  void rawCoordinateOutput_matchesTokenByTokenOutputAcrossBufferChunks() throws Exception {
+    var synthetic = new SyntheticGeometries(geometryFactory, 26L);
+    LineString longLine = synthetic.lineString(10_000);
+    // a single ring of ~12K chars: its first chunk ends mid-ring and the rest is written as continuation chunks
+    Polygon largeRing = synthetic.polygonWithHoles(0, 400);
+    JsonMapper rfc7946Mapper = JsonMapper.builder()
+        .addModule(new JtsModule(geometryFactory, null, 8, null, RingOrientation.RFC7946))
+        .build();
+
+    assertRawMatchesTokens(mapper, longLine);
+    assertRawMatchesTokens(mapper, largeRing);
+    assertRawMatchesTokens(rfc7946Mapper, largeRing);
+  }
+
+  @Test
+  void rawCoordinateOutput_matchesTokenByTokenOutputForNonFiniteOrdinates() throws Exception {
+    LineString line = geometryFactory.createLineString(new Coordinate[] {
+        new Coordinate(Double.NaN, 1), new Coordinate(2, Double.POSITIVE_INFINITY), new Coordinate(3, 4)});
+    JsonMapper quoting = JsonMapper.builder()
+        .addModule(new JtsModule(geometryFactory))
+        .enable(JsonWriteFeature.WRITE_NAN_AS_STRINGS)
+        .build();
+    JsonMapper nonQuoting = JsonMapper.builder()
+        .addModule(new JtsModule(geometryFactory))
+        .disable(JsonWriteFeature.WRITE_NAN_AS_STRINGS)
+        .build();
+
+    assertRawMatchesTokens(quoting, line);
+    assertTrue(quoting.writeValueAsString(line).contains("[\"NaN\",1.0]"));
+    assertRawMatchesTokens(nonQuoting, line);
+    assertTrue(nonQuoting.writeValueAsString(line).contains("[NaN,1.0]"));
+  }
+
+  /** Writes the tree with the same mapper, so generator features apply to the token-by-token output too. */
+  private static void assertRawMatchesTokens(JsonMapper mapper, Geometry input) {
+    String expected = mapper.writeValueAsString(mapper.valueToTree(input));
+
+    assertEquals(expected, mapper.writeValueAsString(input), "Raw output differs for " + input.getGeometryType());
+    assertEquals(expected, new String(mapper.writeValueAsBytes(input), StandardCharsets.UTF_8));
+  }
+
   @Test
   void includeBoundingBox_writesBboxWhenEnabled() throws Exception {
     JsonMapper mapperWithBbox = JsonMapper.builder()
@@ -45,6 +118,43 @@ class Jackson3RoundTripTest {
     assertTrue(json.contains("\"bbox\""));
   }
 
+  @Test
+  void propertyAnnotations_overridePrecisionAndBoundingBox() throws Exception {
+    var dto = new AnnotatedGeometries();
+    dto.coarse = geometryFactory.createPoint(new Coordinate(1.234567891, 2.345678912));
+    dto.fine = geometryFactory.createPoint(new Coordinate(1.234567891, 2.345678912));
+    dto.plain = geometryFactory.createPoint(new Coordinate(1.234567891, 2.345678912));
+
+    JsonNode json = mapper.valueToTree(dto);
+
+    assertEquals(1.23, json.get("coarse").get("coordinates").get(0).asDouble());
+    assertFalse(json.get("coarse").has("bbox"));
+    assertEquals(1.234568, json.get("fine").get("coordinates").get(0).asDouble());
+    assertTrue(json.get("fine").has("bbox"));
+    assertEquals(1.23456789, json.get("plain").get("coordinates").get(0).asDouble());
+
+    AnnotatedGeometries output = mapper.readValue(
+        "{\"coarse\":{\"type\":\"Point\",\"coordinates\":[1.234567891,2.345678912]},"
+            + "\"plain\":{\"type\":\"Point\",\"coordinates\":[1.234567891,2.345678912]}}",
+        AnnotatedGeometries.class);
+    assertEquals(1.23, output.coarse.getX());
+    assertEquals(2.35, output.coarse.getY());
+    assertEquals(1.234567891, output.plain.getX());
+    assertSame(geometryFactory, output.coarse.getFactory());
+
+    // half-way values round away from zero on both sides
+    var halfway = new AnnotatedGeometries();
+    halfway.coarse = geometryFactory.createPoint(new Coordinate(-0.125, 0.125));
+    JsonNode halfwayJson = mapper.valueToTree(halfway);
+    assertEquals(-0.13, halfwayJson.get("coarse").get("coordinates").get(0).asDouble());
+    assertEquals(0.13, halfwayJson.get("coarse").get("coordinates").get(1).asDouble());
+
+    AnnotatedGeometries halfwayOutput = mapper.readValue(
+        "{\"coarse\":{\"type\":\"Point\",\"coordinates\":[-0.125,0.125]}}", AnnotatedGeometries.class);
+    assertEquals(-0.13, halfwayOutput.coarse.getX());
+    assertEquals(0.13, halfwayOutput.coarse.getY());
+  }
+
   @Test
   void deserializeGeometryCollection() throws Exception {
     Geometry geometry = mapper.readValue(GeometryFixtures.geometryCollectionJson(), Geometry.class);
@@ -52,4 +162,141 @@ class Jackson3RoundTripTest {
     assertTrue(geometry instanceof GeometryCollection);
     assertEquals(2, ((GeometryCollection) geometry).getNumGeometries());
   }
+
+  @Test
+  void deserializeIndexedGeometryCollection_indexesEachMember() throws Exception {
+    IndexedGeometryCollection indexed = mapper.readValue(
+        "{\"type\":\"GeometryCollection\",\"geometries\":["
+            + "{\"type\":\"Point\",\"coordinates\":[5,6]},"
+            + "{\"type\":\"LineString\",\"coordinates\":[[0,0],[2,2]]},"
+            + "{\"type\":\"Point\",\"bbox\":[10,10,11,11],\"coordinates\":[10.5,10.5]}]}",
+        IndexedGeometryCollection.class);
+
+    assertEquals(3, indexed.geometries().getNumGeometries());
+    assertEquals(List.of(indexed.geometries().getGeometryN(1)), indexed.query(new Envelope(1, 1.5, 1, 1.5)));
+    assertEquals(List.of(indexed.geometries().getGeometryN(2)), indexed.query(new Envelope(10.9, 11, 10.9, 11)));
+    assertTrue(indexed.query(new Envelope(20, 30, 20, 30)).isEmpty());
+  }
+
+  @Test
+  void deserializeIndexedGeometryCollection_rejectsMissingType() {
+    DatabindException topLevel = assertThrows(DatabindException.class,
+        () -> mapper.readValue("{\"coordinates\":[1,2]}", IndexedGeometryCollection.class));
+    assertTrue(topLevel.getMessage().contains("Invalid geometry type: null"));
+
+    DatabindException member = assertThrows(DatabindException.class, () -> mapper.readValue(
+        "{\"type\":\"GeometryCollection\",\"geometries\":[{\"coordinates\":[1,2]}]}",
+        IndexedGeometryCollection.class));
+    assertTrue(member.getMessage().contains("Invalid geometry type: null"));
+  }
+
+  @Test
+  void offHeapSequences_roundTripWithSameOutput() throws Exception {
+    try (var sequenceFactory = new OffHeapCoordinateSequenceFactory()) {
+      var offHeapFactory = new GeometryFactory(geometryFactory.getPrecisionModel(), 4326, sequenceFactory);
+      JsonMapper offHeapMapper = JsonMapper.builder()
+          .addModule(new JtsModule(offHeapFactory))
+          .build();
+
+      for (Geometry input : GeometryFixtures.sampleGeometries(geometryFactory)) {
+        String json = mapper.writeValueAsString(input);
+        Geometry output = offHeapMapper.readValue(json, Geometry.class);
+
+        assertTrue(output.equalsExact(input, 1e-8), "Off-heap round-trip differs for " + input.getGeometryType());
+        assertEquals(json, offHeapMapper.writeValueAsString(output));
+      }
+    }
+  }
+
+  @Test
+  void offHeapSequences_areUnusableAfterClose() throws Exception {
+    Point point;
+    try (var sequenceFactory = new OffHeapCoordinateSequenceFactory()) {
+      var offHeapFactory = new GeometryFactory(geometryFactory.getPrecisionModel(), 4326, sequenceFactory);
+      point = JsonMapper.builder()
+          .addModule(new JtsModule(offHeapFactory))
+          .build()
+          .readValue("{\"type\":\"Point\",\"coordinates\":[1,2]}", Point.class);
+      assertEquals(1, point.getX());
+    }
+
+    assertThrows(IllegalStateException.class, point::getX);
+  }
+
+  @Test
+  void vertexInterning_sharesIdenticalVerticesWithinCollection() throws Exception {
+    List<VertexInterning.Stats> reports = new ArrayList<>();
+    JsonMapper internMapper = JsonMapper.builder()
+        .addModule(new JtsModule(geometryFactory, null, 8, VertexInterning.bounded(1_000, reports::add)))
+        .build();
+    String json = "{\"type\":\"GeometryCollection\",\"geometries\":["
+        + "{\"type\":\"Polygon\",\"coordinates\":[[[0,0],[1,0],[1,1],[0,1],[0,0]]]},"
+        + "{\"type\":\"Polygon\",\"coordinates\":[[[1,0],[2,0],[2,1],[1,1],[1,0]]]}]}";
+
+    GeometryCollection interned = (GeometryCollection) internMapper.readValue(json, Geometry.class);
+
+    assertTrue(interned.equalsExact(mapper.readValue(json, Geometry.class)));
+    Polygon left = (Polygon) interned.getGeometryN(0);
+    Polygon right = (Polygon) interned.getGeometryN(1);
+    assertSame(left.getExteriorRing().getCoordinateN(1), right.getExteriorRing().getCoordinateN(0));
+    assertSame(left.getExteriorRing().getCoordinateN(2), right.getExteriorRing().getCoordinateN(3));
+    assertEquals(List.of(new VertexInterning.Stats(10, 4, 160)), reports);
+
+    // JTS copies MultiPoint members, so their duplicates are neither shared nor reported as savings
+    reports.clear();
+    internMapper.readValue("{\"type\":\"MultiPoint\",\"coordinates\":[[0,0],[0,0],[1,1]]}", Geometry.class);
+    assertEquals(List.of(new VertexInterning.Stats(0, 0, 0)), reports);
+  }
+
+  @Test
+  void rfc7946RingOrientation_isAppliedOnBothSides() throws Exception {
+    JsonMapper rfcMapper = JsonMapper.builder()
+        .addModule(new JtsModule(geometryFactory, null, 8, null, RingOrientation.RFC7946))
+        .build();
+    // clockwise shell, counter-clockwise hole: both the wrong way round for RFC 7946
+    String wrongWayRound = "{\"type\":\"Polygon\",\"coordinates\":["
+        + "[[0,0],[0,10],[10,10],[10,0],[0,0]],"
+        + "[[2,2],[4,2],[4,4],[2,4],[2,2]]]}";
+
+    Polygon read = (Polygon) rfcMapper.readValue(wrongWayRound, Geometry.class);
+    assertTrue(Orientation.isCCW(read.getExteriorRing().getCoordinateSequence()));
+    assertFalse(Orientation.isCCW(read.getInteriorRingN(0).getCoordinateSequence()));
+
+    Polygon asIs = (Polygon) mapper.readValue(wrongWayRound, Geometry.class);
+    assertEquals(rfcMapper.writeValueAsString(read), rfcMapper.writeValueAsString(asIs));
+    assertEquals(mapper.writeValueAsString(read), rfcMapper.writeValueAsString(asIs));
+  }
+
+  @Test
+  void typedDeserializer_rejectsMismatchBeforeReadingCoordinates() {
+    // the coordinates are invalid, so only an early rejection on "type" yields this message
+    DatabindException e = assertThrows(DatabindException.class, () -> mapper.readValue(
+        "{\"type\":\"MultiPolygon\",\"coordinates\":\"not coordinates\"}", Polygon.class));
+
+    assertTrue(e.getMessage().contains("Invalid type for org.locationtech.jts.geom.Polygon: MultiPolygon"));
+  }
+
+  @Test
+  void typedDeserializer_acceptsTypeAfterCoordinatesAndSubtypes() throws Exception {
+    Polygon polygon = mapper.readValue(
+        "{\"coordinates\":[[[0,0],[1,0],[1,1],[0,1],[0,0]]],\"type\":\"Polygon\"}", Polygon.class);
+    GeometryCollection multiPoint = mapper.readValue(
+        "{\"type\":\"MultiPoint\",\"coordinates\":[[1,1],[2,2]]}", GeometryCollection.class);
+
+    assertEquals(5, polygon.getNumPoints());
+    assertEquals(2, multiPoint.getNumGeometries());
+    assertThrows(DatabindException.class, () -> mapper.readValue(
+        "{\"coordinates\":[1,2],\"type\":\"Point\"}", LineString.class));
+  }
+
+  static class AnnotatedGeometries {
+    @GeoJsonPrecision(2)
+    public Point coarse;
+
+    @GeoJsonPrecision(6)
+    @GeoJsonBoundingBox(GeometryType.POINT)
+    public Point fine;
+
+    public Point plain;
+  }
 }
@@ -0,0 +1,72 @@
+package io.github.aytronnfr.jackson.jts.support;
+
+import java.util.Random;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+
+/** Large, seeded synthetic geometries; the same seed always yields the same coordinates. */
+public final class SyntheticGeometries {
+  private final GeometryFactory factory;
+  private final Random random;
+
+  public SyntheticGeometries(GeometryFactory factory, long seed) {
+    this.factory = factory;
+    this.random = new Random(seed);
+  }
+
+  /** A random walk of {@code vertices} points. */
+  public LineString lineString(int vertices) {
+    Coordinate[] coordinates = new Coordinate[vertices];
+    double x = 2.0 + random.nextDouble();
+    double y = 48.0 + random.nextDouble();
+    for (int i = 0; i < vertices; ++i) {
+      x += (random.nextDouble() - 0.5) * 1e-3;
+      y += (random.nextDouble() - 0.5) * 1e-3;
+      coordinates[i] = new Coordinate(x, y);
+    }
+    return factory.createLineString(coordinates);
+  }
+
+  /** A jittered circular shell holding {@code holes} non-overlapping jittered circular holes laid out on a grid. */
+  public Polygon polygonWithHoles(int holes, int verticesPerRing) {
+    LinearRing shell = ring(0, 0, 1000, verticesPerRing);
+    int side = (int) Math.ceil(Math.sqrt(holes));
+    double cell = 1000.0 / Math.max(side, 1);
+    LinearRing[] interior = new LinearRing[holes];
+    for (int i = 0; i < holes; ++i) {
+      double cx = -500 + (i % side + 0.5) * cell;
+      double cy = -500 + (i / side + 0.5) * cell;
+      interior[i] = ring(cx, cy, cell * 0.3, verticesPerRing);
+    }
+    return factory.createPolygon(shell, interior);
+  }
+
+  /** Collections nested {@code depth} levels deep, each level holding a point, a line and the next level. */
+  public GeometryCollection nestedCollection(int depth, int verticesPerLine) {
+    GeometryCollection collection = factory.createGeometryCollection(new Geometry[] {lineString(verticesPerLine)});
+    for (int i = 1; i < depth; ++i) {
+      collection = factory.createGeometryCollection(new Geometry[] {
+          factory.createPoint(new Coordinate(random.nextDouble(), random.nextDouble())),
+          lineString(verticesPerLine),
+          collection
+      });
+    }
+    return collection;
+  }
+
+  private LinearRing ring(double cx, double cy, double radius, int vertices) {
+    Coordinate[] coordinates = new Coordinate[vertices + 1];
+    for (int i = 0; i < vertices; ++i) {
+      double angle = 2 * Math.PI * i / vertices;
+      double r = radius * (0.9 + random.nextDouble() * 0.1);
+      coordinates[i] = new Coordinate(cx + r * Math.cos(angle), cy + r * Math.sin(angle));
+    }
+    coordinates[vertices] = coordinates[0].copy();
+    return factory.createLinearRing(coordinates);
+  }
+}